@@ -8,15 +8,58 @@ import org.nextme.monitoringserver.dto.NodeMetrics;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.stereotype.Component;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class AIAnalyzer {
 
-	private final ChatClient.Builder chatClientBuilder;
+	// 고정 지시문은 system 메시지로 항상 앞에 두어 프롬프트 prefix 캐시가 적중하도록 함
+	private static final String SYSTEM_PROMPT = """
+		당신은 노드 모니터링 이상 감지 알림을 분석하는 운영 엔지니어입니다.
+		사용자 메시지로 알림 정보, 노드 전체 상태, 노드 내 서비스별 리소스 사용 현황, 과거 추세가 주어집니다.
+		서비스별 현황은 CPU/메모리 상위 서비스만 포함하며, 'others (N services)' 항목은 나머지 N개 서비스의 합계입니다.
+
+		**분석 요청 :**
+		1. 현재 상황이 정상 범위를 벗어났는지 판단
+		2. 과거 추세와 비교하여 급격한 변화가 있는지 확인
+		3. **중요**: 서비스별 리소스 사용 현황이 주어진 경우, 리소스를 가장 많이 사용하는 서비스를 특정하고 해당 서비스가 문제의 원인인지 판단
+		4. 서비스별 현황이 없는 경우 가능한 원인 추정
+		5. 예상되는 리스크 (1시간 후 예측)
+		6. 권장 조치 사항 (문제 서비스가 특정된 경우 해당 서비스에 대한 조치 포함)
+
+		**응답 형식 :**
+		다음 형식으로 작성하되, 마크다운 기호(#, *, -, >, 등) 없이 일반 텍스트로 작성하세요:
+
+		[서비스별 리소스 현황]
+		각 서비스를 한 줄씩 'ㆍ서비스명: CPU 0.00%, 메모리 000 MB' 형식으로 표시
+		예시:
+		ㆍusergoal-service: CPU 0.41%, 메모리 145.29 MB
+		ㆍpromotion-service: CPU 0.31%, 메모리 122.10 MB
+
+		[현재 상황]
+		메모리/CPU/디스크 사용률 판단
+
+		[과거 추세]
+		6시간 동안의 변화 설명
+
+		[원인 분석]
+		서비스별 현황을 보고 리소스를 가장 많이 사용하는 서비스 특정 및 원인 분석
+
+		[예상 리스크]
+		1시간 후 예측
+
+		[권장 조치]
+		구체적인 조치 사항 (문제 서비스가 있다면 해당 서비스에 대한 조치 포함)
+		""";
+
+	private final ChatClient chatClient;
+
+	public AIAnalyzer(ChatClient.Builder chatClientBuilder) {
+		this.chatClient = chatClientBuilder
+			.defaultSystem(SYSTEM_PROMPT)
+			.build();
+	}
 
 	public String analyzeNodeMetrics(
 		NodeMetrics currentMetrics,
@@ -28,8 +71,6 @@ public class AIAnalyzer {
 		try {
 			String prompt = buildPrompt(currentMetrics, historicalMetrics, alertInfo, null);
 
-			ChatClient chatClient = chatClientBuilder.build();
-
 			String response = chatClient.prompt()
 				.user(prompt)
 				.call()
@@ -59,8 +100,6 @@ public class AIAnalyzer {
 			log.info("AI Prompt (first 500 chars):\n{}",
 				prompt.length() > 500 ? prompt.substring(0, 500) + "..." : prompt);
 
-			ChatClient chatClient = chatClientBuilder.build();
-
 			String response = chatClient.prompt()
 				.user(prompt)
 				.call()
@@ -113,35 +152,6 @@ public class AIAnalyzer {
 				i + 1, h.getCpuUsage(), h.getMemoryUsagePercent(), h.getDiskUsagePercent()));
 		}
 
-		sb.append("\n**분석 요청 :**\n");
-		sb.append("1. 현재 상황이 정상 범위를 벗어났는지 판단\n");
-		sb.append("2. 과거 추세와 비교하여 급격한 변화가 있는지 확인\n");
-		if (containerMetrics != null && !containerMetrics.isEmpty()) {
-			sb.append("3. **중요**: 노드 내 서비스별 리소스 사용 현황을 분석하여 리소스를 가장 많이 사용하는 서비스를 특정\n");
-			sb.append("4. 특정된 서비스가 문제의 원인인지 판단\n");
-		} else {
-			sb.append("3. 가능한 원인 추정\n");
-		}
-		sb.append("5. 예상되는 리스크 (1시간 후 예측)\n");
-		sb.append("6. 권장 조치 사항 (문제 서비스가 특정된 경우 해당 서비스에 대한 조치 포함)\n\n");
-		sb.append("**응답 형식 :**\n");
-		sb.append("다음 형식으로 작성하되, 마크다운 기호(#, *, -, >, 등) 없이 일반 텍스트로 작성하세요:\n\n");
-		sb.append("[서비스별 리소스 현황]\n");
-		sb.append("각 서비스를 한 줄씩 'ㆍ서비스명: CPU 0.00%, 메모리 000 MB' 형식으로 표시\n");
-		sb.append("예시:\n");
-		sb.append("ㆍusergoal-service: CPU 0.41%, 메모리 145.29 MB\n");
-		sb.append("ㆍpromotion-service: CPU 0.31%, 메모리 122.10 MB\n\n");
-		sb.append("[현재 상황]\n");
-		sb.append("메모리/CPU/디스크 사용률 판단\n\n");
-		sb.append("[과거 추세]\n");
-		sb.append("6시간 동안의 변화 설명\n\n");
-		sb.append("[원인 분석]\n");
-		sb.append("서비스별 현황을 보고 리소스를 가장 많이 사용하는 서비스 특정 및 원인 분석\n\n");
-		sb.append("[예상 리스크]\n");
-		sb.append("1시간 후 예측\n\n");
-		sb.append("[권장 조치]\n");
-		sb.append("구체적인 조치 사항 (문제 서비스가 있다면 해당 서비스에 대한 조치 포함)\n");
-
 		return sb.toString();
 	}
 }
@@ -0,0 +1,131 @@
+package org.nextme.monitoringserver.analyzer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * OpenAI Chat Completions 응답의 토큰 사용량 기록
+ *
+ * Spring AI의 공통 Usage에는 캐시 적중 토큰(prompt_tokens_details.cached_tokens)이 없어
+ * 응답 본문의 usage 필드를 직접 읽는다.
+ * RestClient.Builder는 애플리케이션 전체가 공유하므로 OpenAI base-url의 host로 한정한다.
+ */
+@Slf4j
+public class OpenAiUsageInterceptor implements ClientHttpRequestInterceptor {
+
+	private static final String CHAT_COMPLETIONS_PATH = "/chat/completions";
+
+	private final String openAiHost;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final Counter promptTokens;
+	private final Counter cachedTokens;
+	private final Counter completionTokens;
+
+	public OpenAiUsageInterceptor(String openAiBaseUrl, MeterRegistry meterRegistry) {
+		this.openAiHost = URI.create(openAiBaseUrl).getHost();
+		this.promptTokens = tokenCounter(meterRegistry, "prompt");
+		this.cachedTokens = tokenCounter(meterRegistry, "cached");
+		this.completionTokens = tokenCounter(meterRegistry, "completion");
+	}
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+		throws IOException {
+		ClientHttpResponse response = execution.execute(request, body);
+
+		if (!isChatCompletion(request.getURI()) || !response.getStatusCode().is2xxSuccessful()) {
+			return response;
+		}
+
+		// 본문을 한 번 읽어 기록한 뒤 Spring AI가 다시 읽을 수 있도록 버퍼링
+		byte[] responseBody = StreamUtils.copyToByteArray(response.getBody());
+		recordUsage(responseBody);
+		return new BufferedResponse(response, responseBody);
+	}
+
+	private boolean isChatCompletion(URI uri) {
+		return openAiHost != null
+			&& openAiHost.equalsIgnoreCase(uri.getHost())
+			&& uri.getPath().endsWith(CHAT_COMPLETIONS_PATH);
+	}
+
+	private void recordUsage(byte[] responseBody) {
+		try {
+			JsonNode usage = objectMapper.readTree(responseBody).path("usage");
+			if (usage.isMissingNode()) {
+				return;
+			}
+
+			long prompt = usage.path("prompt_tokens").asLong();
+			long cached = usage.path("prompt_tokens_details").path("cached_tokens").asLong();
+			long completion = usage.path("completion_tokens").asLong();
+
+			promptTokens.increment(prompt);
+			cachedTokens.increment(cached);
+			completionTokens.increment(completion);
+
+			log.info("AI token usage: prompt={}, cached={}, completion={}", prompt, cached, completion);
+		} catch (IOException e) {
+			log.warn("Failed to read AI token usage", e);
+		}
+	}
+
+	private static Counter tokenCounter(MeterRegistry meterRegistry, String type) {
+		return Counter.builder("ai.analysis.tokens")
+			.tag("type", type)
+			.register(meterRegistry);
+	}
+
+	private static class BufferedResponse implements ClientHttpResponse {
+
+		private final ClientHttpResponse delegate;
+		private final byte[] body;
+
+		BufferedResponse(ClientHttpResponse delegate, byte[] body) {
+			this.delegate = delegate;
+			this.body = body;
+		}
+
+		@Override
+		public HttpStatusCode getStatusCode() throws IOException {
+			return delegate.getStatusCode();
+		}
+
+		@Override
+		public String getStatusText() throws IOException {
+			return delegate.getStatusText();
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return delegate.getHeaders();
+		}
+
+		@Override
+		public InputStream getBody() {
+			return new ByteArrayInputStream(body);
+		}
+
+		@Override
+		public void close() {
+			delegate.close();
+		}
+	}
+}
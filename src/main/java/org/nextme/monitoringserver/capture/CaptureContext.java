@@ -0,0 +1,34 @@
+package org.nextme.monitoringserver.capture;
+
+/**
+ * 현재 처리 중인 Webhook의 캡처 요청 ID (요청 스레드 단위)
+ *
+ * Webhook 처리 중 발생한 Prometheus 응답을 해당 Webhook 레코드와 연결하는 데 사용하며,
+ * 재생 시에는 대상 서버가 Prometheus 요청 헤더로 전달해 대역 서버가 해당 Webhook의 응답을 찾는다.
+ */
+public final class CaptureContext {
+
+	// 재생 시 Webhook 요청과 Prometheus 요청에 실리는 요청 ID 헤더
+	public static final String REQUEST_ID_HEADER = "X-Capture-Request-Id";
+
+	// 요청 ID가 없음 (Webhook 처리 외부 호출 또는 캡처 비활성)
+	public static final long NONE = 0L;
+
+	private static final ThreadLocal<Long> REQUEST_ID = new ThreadLocal<>();
+
+	private CaptureContext() {
+	}
+
+	public static void set(long requestId) {
+		REQUEST_ID.set(requestId);
+	}
+
+	public static long currentRequestId() {
+		Long requestId = REQUEST_ID.get();
+		return requestId != null ? requestId : NONE;
+	}
+
+	public static void clear() {
+		REQUEST_ID.remove();
+	}
+}
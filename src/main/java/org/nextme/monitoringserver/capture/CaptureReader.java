@@ -0,0 +1,80 @@
+package org.nextme.monitoringserver.capture;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 캡처 파일 읽기 (memory-mapped)
+ *
+ * 단일 매핑은 2 GiB를 넘을 수 없으므로 파일을 고정 크기 창(window) 단위로 나눠 매핑하고,
+ * 창 경계에 걸친 레코드는 다음 창을 해당 레코드 시작 위치부터 매핑하여 읽는다.
+ */
+@Slf4j
+public final class CaptureReader {
+
+	private static final int DEFAULT_WINDOW_SIZE = 256 * 1024 * 1024;
+	private static final int MAX_WINDOW_SIZE = Integer.MAX_VALUE - 8;
+
+	private CaptureReader() {
+	}
+
+	/*
+	캡처 파일의 모든 레코드 조회
+	마지막 레코드가 기록 도중 잘린 경우 해당 레코드는 무시
+	@param path 캡처 파일 경로
+	@return 기록 순서대로의 레코드 리스트
+	 */
+	public static List<CaptureRecord> readAll(Path path) throws IOException {
+		return readAll(path, DEFAULT_WINDOW_SIZE);
+	}
+
+	static List<CaptureRecord> readAll(Path path, int windowSize) throws IOException {
+		List<CaptureRecord> records = new ArrayList<>();
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			long offset = 0;
+			int window = windowSize;
+
+			while (offset < size) {
+				int length = (int)Math.min(window, size - offset);
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+
+				int consumed = 0;
+				while (buffer.hasRemaining()) {
+					try {
+						records.add(CaptureRecord.readFrom(buffer));
+						consumed = buffer.position();
+					} catch (BufferUnderflowException e) {
+						break;
+					}
+				}
+
+				if (consumed < length && offset + length == size) {
+					log.warn("Truncated capture record at offset {}, ignoring the rest", offset + consumed);
+					break;
+				}
+
+				// 창보다 큰 레코드는 창을 늘려 다시 매핑
+				if (consumed == 0) {
+					if (window == MAX_WINDOW_SIZE) {
+						throw new IOException("Capture record at offset " + offset + " exceeds the maximum window size");
+					}
+					window = (int)Math.min((long)window * 2, MAX_WINDOW_SIZE);
+				}
+
+				offset += consumed;
+			}
+		}
+
+		return records;
+	}
+}
@@ -0,0 +1,76 @@
+package org.nextme.monitoringserver.capture;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 캡처 파일의 단일 레코드
+ *
+ * 바이너리 레이아웃 (big-endian):
+ * [type:1][requestId:8][timestampMillis:8][durationNanos:8][keyLength:4][key][payloadLength:4][payload]
+ * - WEBHOOK: key 없음, payload = 요청 본문, duration = 0 (도착 시점에 기록)
+ * - PROMETHEUS: key = PromQL, payload = 응답 본문, duration = 응답 지연
+ * requestId는 Prometheus 응답을 해당 Webhook과 연결 (Webhook 처리 외부 호출은 0)
+ */
+@Getter
+@AllArgsConstructor
+public class CaptureRecord {
+
+	private static final int HEADER_SIZE = 1 + 8 + 8 + 8 + 4 + 4;
+
+	private final CaptureType type;
+	private final long requestId;
+	private final long timestampMillis;
+	private final long durationNanos;
+	private final String key;
+	private final String payload;
+
+	public byte[] encode() {
+		byte[] keyBytes = toBytes(key);
+		byte[] payloadBytes = toBytes(payload);
+
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + keyBytes.length + payloadBytes.length);
+		buffer.put(type.getCode());
+		buffer.putLong(requestId);
+		buffer.putLong(timestampMillis);
+		buffer.putLong(durationNanos);
+		buffer.putInt(keyBytes.length);
+		buffer.put(keyBytes);
+		buffer.putInt(payloadBytes.length);
+		buffer.put(payloadBytes);
+		return buffer.array();
+	}
+
+	/*
+	버퍼의 현재 위치에서 레코드 하나를 읽음
+	@throws BufferUnderflowException 남은 바이트가 레코드 하나보다 적은 경우 (버퍼 위치는 보장하지 않음)
+	 */
+	public static CaptureRecord readFrom(ByteBuffer buffer) {
+		CaptureType type = CaptureType.fromCode(buffer.get());
+		long requestId = buffer.getLong();
+		long timestampMillis = buffer.getLong();
+		long durationNanos = buffer.getLong();
+		String key = readString(buffer);
+		String payload = readString(buffer);
+		return new CaptureRecord(type, requestId, timestampMillis, durationNanos, key, payload);
+	}
+
+	private static byte[] toBytes(String value) {
+		return value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+	}
+
+	private static String readString(ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length < 0 || length > buffer.remaining()) {
+			throw new BufferUnderflowException();
+		}
+
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
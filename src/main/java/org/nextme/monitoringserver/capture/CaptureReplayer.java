@@ -0,0 +1,137 @@
+package org.nextme.monitoringserver.capture;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 캡처 파일 재생 실행기
+ *
+ * 캡처된 Webhook을 원래 간격(또는 --speed 배속)으로 대상 서버에 전송하고,
+ * Prometheus/OpenAI 호출은 {@link StandInServer}가 대신 응답한다.
+ * Webhook마다 캡처 요청 ID를 헤더로 전달하므로 대역 서버는 해당 Webhook 처리 중 캡처된 응답을 반환한다.
+ * 대상 서버는 PROMETHEUS_URL과 spring.ai.openai.base-url을 대역 서버로 지정하여 실행한다.
+ *
+ * 사용법: ./gradlew replayCapture --args="<capture-file> [--target=url] [--speed=n] [--standin-port=n]"
+ */
+@Slf4j
+public final class CaptureReplayer {
+
+	private static final String ALERT_PATH = "/v1/monitoring/alert";
+
+	private CaptureReplayer() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 1) {
+			log.error("Usage: CaptureReplayer <capture-file> [--target=http://localhost:11118] [--speed=1.0] [--standin-port=19090]");
+			System.exit(1);
+		}
+
+		Path capturePath = Path.of(args[0]);
+		String target = option(args, "target", "http://localhost:11118");
+		double speed = Double.parseDouble(option(args, "speed", "1.0"));
+		int standInPort = Integer.parseInt(option(args, "standin-port", "19090"));
+
+		List<CaptureRecord> records = CaptureReader.readAll(capturePath);
+		List<CaptureRecord> webhooks = new ArrayList<>();
+		for (CaptureRecord record : records) {
+			if (record.getType() == CaptureType.WEBHOOK) {
+				webhooks.add(record);
+			}
+		}
+		webhooks.sort(Comparator.comparingLong(CaptureRecord::getTimestampMillis));
+
+		log.info("Loaded {} records ({} webhooks) from {}", records.size(), webhooks.size(), capturePath);
+
+		if (webhooks.isEmpty()) {
+			return;
+		}
+
+		try (StandInServer standIn = new StandInServer(standInPort, records)) {
+			standIn.start();
+			replay(webhooks, target, speed);
+		}
+	}
+
+	private static void replay(List<CaptureRecord> webhooks, String target, double speed) {
+		HttpClient httpClient = HttpClient.newBuilder()
+			.executor(Executors.newVirtualThreadPerTaskExecutor())
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+		URI alertUri = URI.create(target + ALERT_PATH);
+
+		long firstTimestamp = webhooks.get(0).getTimestampMillis();
+		long startNanos = System.nanoTime();
+		List<CompletableFuture<Long>> latencies = new ArrayList<>();
+		Map<Integer, Integer> statusCounts = new TreeMap<>();
+
+		for (CaptureRecord webhook : webhooks) {
+			// 원래 도착 간격을 배속에 맞춰 유지 (응답을 기다리지 않음)
+			long dueNanos = (long)((webhook.getTimestampMillis() - firstTimestamp) * 1_000_000L / speed);
+			long waitNanos = dueNanos - (System.nanoTime() - startNanos);
+			if (waitNanos > 0) {
+				sleep(waitNanos);
+			}
+
+			HttpRequest request = HttpRequest.newBuilder(alertUri)
+				.header("Content-Type", "application/json")
+				.header(CaptureContext.REQUEST_ID_HEADER, Long.toString(webhook.getRequestId()))
+				.POST(HttpRequest.BodyPublishers.ofString(webhook.getPayload()))
+				.build();
+
+			long sentNanos = System.nanoTime();
+			latencies.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+				.handle((response, e) -> {
+					int status = e != null ? -1 : response.statusCode();
+					synchronized (statusCounts) {
+						statusCounts.merge(status, 1, Integer::sum);
+					}
+					return System.nanoTime() - sentNanos;
+				}));
+		}
+
+		CompletableFuture.allOf(latencies.toArray(CompletableFuture[]::new)).join();
+
+		List<Long> sorted = latencies.stream().map(CompletableFuture::join).sorted().toList();
+		log.info("Replayed {} webhooks at {}x in {} ms, status={}",
+			sorted.size(), speed, (System.nanoTime() - startNanos) / 1_000_000, statusCounts);
+		log.info("Latency p50={} ms, p95={} ms, max={} ms",
+			percentile(sorted, 0.50), percentile(sorted, 0.95), sorted.get(sorted.size() - 1) / 1_000_000);
+	}
+
+	private static long percentile(List<Long> sorted, double percentile) {
+		int index = (int)Math.ceil(percentile * sorted.size()) - 1;
+		return sorted.get(Math.max(index, 0)) / 1_000_000;
+	}
+
+	private static void sleep(long nanos) {
+		try {
+			Thread.sleep(Duration.ofNanos(nanos));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static String option(String[] args, String name, String defaultValue) {
+		String prefix = "--" + name + "=";
+		for (String arg : args) {
+			if (arg.startsWith(prefix)) {
+				return arg.substring(prefix.length());
+			}
+		}
+		return defaultValue;
+	}
+}
@@ -0,0 +1,29 @@
+package org.nextme.monitoringserver.capture;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 캡처 레코드 종류
+ */
+@Getter
+@RequiredArgsConstructor
+public enum CaptureType {
+
+	// Grafana Alert Webhook 요청 본문
+	WEBHOOK((byte)1),
+
+	// Webhook 처리 중 발생한 Prometheus 쿼리 응답
+	PROMETHEUS((byte)2);
+
+	private final byte code;
+
+	public static CaptureType fromCode(byte code) {
+		for (CaptureType type : values()) {
+			if (type.code == code) {
+				return type;
+			}
+		}
+		throw new IllegalArgumentException("Unknown capture type: " + code);
+	}
+}
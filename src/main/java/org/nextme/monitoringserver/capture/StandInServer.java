@@ -0,0 +1,136 @@
+package org.nextme.monitoringserver.capture;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 재생용 로컬 대역 서버
+ *
+ * - /api/v1/query: 캡처된 Prometheus 응답을 (요청 ID, PromQL) 기준으로 순환 반환 (기록된 지연 재현)
+ *   요청 ID 헤더가 없거나 해당 Webhook의 응답이 없으면 PromQL 기준으로 반환
+ * - /v1/chat/completions: 고정된 OpenAI 응답 반환 (spring.ai.openai.base-url 지정 시)
+ */
+@Slf4j
+public class StandInServer implements AutoCloseable {
+
+	private static final String EMPTY_QUERY_RESPONSE =
+		"{\"status\":\"success\",\"data\":{\"resultType\":\"vector\",\"result\":[]}}";
+
+	private static final String CHAT_COMPLETION_RESPONSE =
+		"{\"id\":\"replay\",\"object\":\"chat.completion\",\"created\":0,\"model\":\"replay\","
+			+ "\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\"replay analysis\"},"
+			+ "\"finish_reason\":\"stop\"}],"
+			+ "\"usage\":{\"prompt_tokens\":0,\"completion_tokens\":0,\"total_tokens\":0}}";
+
+	private final HttpServer server;
+	private final Map<ResponseKey, List<CaptureRecord>> responsesByRequest = new HashMap<>();
+	private final Map<String, List<CaptureRecord>> responsesByQuery = new HashMap<>();
+	private final Map<Object, AtomicInteger> cursors = new ConcurrentHashMap<>();
+
+	public StandInServer(int port, List<CaptureRecord> records) throws IOException {
+		for (CaptureRecord record : records) {
+			if (record.getType() == CaptureType.PROMETHEUS) {
+				if (record.getRequestId() != CaptureContext.NONE) {
+					responsesByRequest.computeIfAbsent(new ResponseKey(record.getRequestId(), record.getKey()),
+						k -> new ArrayList<>()).add(record);
+				}
+				responsesByQuery.computeIfAbsent(record.getKey(), k -> new ArrayList<>()).add(record);
+			}
+		}
+
+		this.server = HttpServer.create(new InetSocketAddress(port), 0);
+		this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+		this.server.createContext("/api/v1/query", this::handleQuery);
+		this.server.createContext("/v1/chat/completions",
+			exchange -> respond(exchange, CHAT_COMPLETION_RESPONSE));
+	}
+
+	public void start() {
+		server.start();
+		log.info("Stand-in server started on port {} ({} distinct queries)",
+			server.getAddress().getPort(), responsesByQuery.size());
+	}
+
+	private void handleQuery(HttpExchange exchange) throws IOException {
+		String query = extractQuery(exchange.getRequestURI().getRawQuery());
+		Object key = new ResponseKey(requestId(exchange), query);
+		List<CaptureRecord> responses = responsesByRequest.get(key);
+
+		if (responses == null) {
+			key = query;
+			responses = responsesByQuery.get(query);
+		}
+
+		if (responses == null) {
+			log.debug("No captured response for query: {}", query);
+			respond(exchange, EMPTY_QUERY_RESPONSE);
+			return;
+		}
+
+		int index = cursors.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+		CaptureRecord record = responses.get(index % responses.size());
+
+		try {
+			Thread.sleep(Duration.ofNanos(record.getDurationNanos()));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		respond(exchange, record.getPayload());
+	}
+
+	private long requestId(HttpExchange exchange) {
+		String header = exchange.getRequestHeaders().getFirst(CaptureContext.REQUEST_ID_HEADER);
+		try {
+			return header != null ? Long.parseLong(header) : CaptureContext.NONE;
+		} catch (NumberFormatException e) {
+			return CaptureContext.NONE;
+		}
+	}
+
+	// time 파라미터는 재생 시각마다 달라지므로 query 파라미터만 사용
+	private String extractQuery(String rawQuery) {
+		if (rawQuery == null) {
+			return "";
+		}
+		for (String param : rawQuery.split("&")) {
+			if (param.startsWith("query=")) {
+				return URLDecoder.decode(param.substring("query=".length()), StandardCharsets.UTF_8);
+			}
+		}
+		return "";
+	}
+
+	private void respond(HttpExchange exchange, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(200, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+	}
+
+	private record ResponseKey(long requestId, String query) {
+	}
+}
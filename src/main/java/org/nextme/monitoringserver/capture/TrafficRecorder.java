@@ -0,0 +1,160 @@
+package org.nextme.monitoringserver.capture;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Webhook 및 Prometheus 응답 캡처 (성능 회귀 테스트용 record-and-replay)
+ *
+ * capture.enabled=true 일 때만 동작하며, 레코드를 direct buffer에 모았다가
+ * append-only 파일에 FileChannel로 기록한다. 파일이 capture.max-bytes에 도달하면 기록을 중단한다.
+ */
+@Slf4j
+@Component
+public class TrafficRecorder {
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private final boolean enabled;
+	private final Path path;
+	private final long maxBytes;
+
+	// 재시작 후 같은 파일에 이어 기록해도 겹치지 않도록 시작 시각 기준으로 발급
+	private final AtomicLong requestIds = new AtomicLong(System.currentTimeMillis() * 1_000);
+
+	private FileChannel channel;
+	private ByteBuffer buffer;
+	private long writtenBytes;
+	private boolean full;
+
+	public TrafficRecorder(
+		@Value("${capture.enabled:false}") boolean enabled,
+		@Value("${capture.path:capture/traffic.cap}") String path,
+		@Value("${capture.max-bytes:1073741824}") long maxBytes
+	) {
+		this.enabled = enabled;
+		this.path = Path.of(path);
+		this.maxBytes = maxBytes;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/*
+	Webhook 요청 ID 발급
+	@return 새 요청 ID (캡처 비활성 시 CaptureContext.NONE)
+	 */
+	public long nextRequestId() {
+		return enabled ? requestIds.incrementAndGet() : CaptureContext.NONE;
+	}
+
+	/*
+	Webhook 요청 본문 기록 (수신 즉시, 해당 요청의 Prometheus 응답보다 먼저 호출)
+	@param requestId 요청 ID
+	@param payload 요청 본문
+	 */
+	public void recordWebhook(long requestId, String payload) {
+		if (enabled) {
+			append(new CaptureRecord(CaptureType.WEBHOOK, requestId, System.currentTimeMillis(), 0L, null, payload));
+		}
+	}
+
+	/*
+	Prometheus 쿼리 응답 기록 (현재 스레드의 CaptureContext 요청 ID와 연결)
+	@param query PromQL
+	@param response 응답 본문
+	@param durationNanos 응답 지연
+	 */
+	public void recordPrometheus(String query, String response, long durationNanos) {
+		if (enabled) {
+			append(new CaptureRecord(CaptureType.PROMETHEUS, CaptureContext.currentRequestId(),
+				System.currentTimeMillis(), durationNanos, query, response));
+		}
+	}
+
+	private synchronized void append(CaptureRecord record) {
+		if (full) {
+			return;
+		}
+
+		try {
+			if (channel == null) {
+				open();
+			}
+
+			byte[] bytes = record.encode();
+			if (writtenBytes + bytes.length > maxBytes) {
+				full = true;
+				flush();
+				log.warn("Capture file reached {} bytes, stopped recording: {}", maxBytes, path.toAbsolutePath());
+				return;
+			}
+			writtenBytes += bytes.length;
+
+			if (bytes.length > buffer.remaining()) {
+				flush();
+			}
+
+			// 버퍼보다 큰 레코드는 바로 기록
+			if (bytes.length > buffer.capacity()) {
+				ByteBuffer large = ByteBuffer.wrap(bytes);
+				while (large.hasRemaining()) {
+					channel.write(large);
+				}
+			} else {
+				buffer.put(bytes);
+			}
+
+			// Webhook 단위로 flush하여 비정상 종료 시에도 요청 경계까지는 보존
+			if (record.getType() == CaptureType.WEBHOOK) {
+				flush();
+			}
+		} catch (IOException e) {
+			log.warn("Failed to append capture record: type={}", record.getType(), e);
+		}
+	}
+
+	private void open() throws IOException {
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+		channel = FileChannel.open(path,
+			StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		writtenBytes = channel.size();
+		log.info("Traffic capture enabled: {}", path.toAbsolutePath());
+	}
+
+	private void flush() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	@PreDestroy
+	public synchronized void close() {
+		if (channel == null) {
+			return;
+		}
+		try {
+			flush();
+			channel.close();
+		} catch (IOException e) {
+			log.warn("Failed to close capture file: {}", path, e);
+		}
+	}
+}
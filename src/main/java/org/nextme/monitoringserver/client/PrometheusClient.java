@@ -1,17 +1,35 @@
 package org.nextme.monitoringserver.client;
 
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.ObjDoubleConsumer;
 
+import org.nextme.monitoringserver.capture.CaptureContext;
+import org.nextme.monitoringserver.capture.TrafficRecorder;
 import org.nextme.monitoringserver.dto.ContainerMetrics;
 import org.nextme.monitoringserver.dto.NodeMetrics;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.client.RestClient;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 
 import lombok.extern.slf4j.Slf4j;
@@ -20,12 +38,28 @@ import lombok.extern.slf4j.Slf4j;
 @Component
 public class PrometheusClient {
 
-	private final WebClient webClient;
-	private final String prometheusUrl;
+	private static final String MEMORY_QUERY = "sum(jvm_memory_used_bytes{area=\"heap\"}) by (instance)";
+	// process_cpu_usage는 0.0~1.0 범위이므로 100을 곱해 퍼센트로 변환
+	private static final String CPU_QUERY = "max(process_cpu_usage) by (instance) * 100";
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
 
-	public PrometheusClient(@Value("${prometheus.url}") String prometheusUrl) {
+	private final RestClient restClient;
+	private final String prometheusUrl;
+	private final TrafficRecorder trafficRecorder;
+	private final int topK;
+
+	public PrometheusClient(
+		@Value("${prometheus.url}") String prometheusUrl,
+		@Value("${prometheus.top-k:10}") int topK,
+		TrafficRecorder trafficRecorder
+	) {
 		this.prometheusUrl = prometheusUrl;
-		this.webClient = WebClient.builder().build();
+		this.topK = topK;
+		this.trafficRecorder = trafficRecorder;
+		// JDK HttpClient는 응답 본문을 집계하지 않고 InputStream으로 그대로 전달
+		this.restClient = RestClient.builder()
+			.requestFactory(new JdkClientHttpRequestFactory())
+			.build();
 	}
 
 	/*
@@ -62,67 +96,126 @@ public class PrometheusClient {
 	}
 
 	/*
-	노드 내 모든 서비스의 리소스 사용률 조회 (JVM 메트릭 기반)
+	노드 내 서비스의 리소스 사용률 조회 (JVM 메트릭 기반)
+	CPU/메모리 기준 각각 상위 topK개 서비스만 반환하고, 나머지는 "others" 항목 하나로 합산
+	응답은 스트리밍으로 파싱하므로 서비스 수와 무관하게 메모리 사용은 topK에 비례 (캡처 모드 제외)
 	@param nodeName 노드 이름 (사용하지 않음, 모든 서비스 조회)
-	@return 서비스별 메트릭 맵 (서비스명 -> 메트릭)
+	@return 서비스별 메트릭 맵 (서비스명 -> 메트릭, CPU 사용률 내림차순)
 	 */
 	public Map<String, ContainerMetrics> getContainerMetrics(String nodeName) {
-		log.info("Fetching service metrics (JVM-based)");
+		log.info("Fetching service metrics (JVM-based), top {}", topK);
 
-		Map<String, ContainerMetrics> serviceMetricsMap = new HashMap<>();
+		Map<String, ContainerMetrics> serviceMetricsMap = new LinkedHashMap<>();
 
 		try {
-			// JVM 메모리 사용량 조회 (heap 영역만)
-			// 이스케이프 없이 직접 작성
-			String memoryQuery = "sum(jvm_memory_used_bytes{area=\"heap\"}) by (instance)";
-
-			log.info("Executing memory query: {}", memoryQuery);
+			// 1. 메모리 상위 K개 선택 (크기 K의 min-heap)
+			TopK topMemory = new TopK(topK);
+			if (!streamVector(MEMORY_QUERY, topMemory::offer)) {
+				log.warn("Memory query failed");
+				return serviceMetricsMap;
+			}
+			Map<String, Double> memoryBytes = topMemory.values();
+
+			// 2. CPU 상위 K개 선택 + 메모리 상위 서비스의 CPU 값 수집
+			TopK topCpu = new TopK(topK);
+			Map<String, Double> cpuUsages = new HashMap<>();
+			streamVector(CPU_QUERY, (instance, value) -> {
+				topCpu.offer(instance, value);
+				if (memoryBytes.containsKey(instance)) {
+					cpuUsages.put(instance, value);
+				}
+			});
+			cpuUsages.putAll(topCpu.values());
 
-			JsonNode memoryResponse = executeRangeQuery(memoryQuery);
+			Set<String> selected = new HashSet<>(memoryBytes.keySet());
+			selected.addAll(cpuUsages.keySet());
 
-			if (memoryResponse != null) {
-				JsonNode results = memoryResponse.path("data").path("result");
+			// 3. CPU 상위지만 메모리 상위가 아닌 서비스의 메모리만 추가 조회
+			Set<String> missingMemory = new HashSet<>(selected);
+			missingMemory.removeAll(memoryBytes.keySet());
+			if (!missingMemory.isEmpty()) {
+				streamVector(memoryQueryFor(missingMemory), memoryBytes::put);
+			}
 
-				log.debug("Memory query returned {} results", results.size());
+			// 4. 선택되지 않은 서비스는 하나로 합산 (서비스 수는 두 쿼리 결과의 합집합 기준)
+			int serviceCount = countServices(topMemory, topCpu);
+			serviceMetricsMap = summarize(memoryBytes, cpuUsages, serviceCount, topMemory.total(), topCpu.total());
 
-				for (JsonNode result : results) {
-					String serviceName = result.path("metric").path("instance").asText();
+			log.info("Found {} services with metrics, selected {}", serviceCount, selected.size());
 
-					if (!serviceName.isEmpty()) {
-						JsonNode values = result.path("value");
-						Double memoryBytes = 0.0;
-						if (values.size() > 1) {
-							memoryBytes = Double.parseDouble(values.get(1).asText());
-						}
-						Double memoryMB = memoryBytes / 1024 / 1024;
+		} catch (Exception e) {
+			log.error("Failed to fetch service metrics", e);
+		}
 
-						// CPU 사용률 조회 (프로세스 CPU)
-						Double cpuUsage = queryServiceCpu(serviceName);
+		return serviceMetricsMap;
+	}
 
-						ContainerMetrics metrics = ContainerMetrics.builder()
-							.containerName(serviceName)
-							.cpuUsage(cpuUsage)
-							.memoryUsageMB(memoryMB)
-							.build();
+	/*
+	선택된 서비스 메트릭을 CPU 사용률 내림차순으로 정렬하고, 나머지는 "others" 항목 하나로 합산
+	@param memoryBytes 선택된 서비스의 heap 사용량 (bytes)
+	@param cpuUsages 선택된 서비스의 CPU 사용률
+	@param serviceCount 전체 서비스 수
+	@param totalMemoryBytes 전체 서비스의 heap 사용량 합계
+	@param totalCpu 전체 서비스의 CPU 사용률 합계
+	@return 서비스별 메트릭 맵 (서비스명 -> 메트릭)
+	 */
+	static Map<String, ContainerMetrics> summarize(Map<String, Double> memoryBytes, Map<String, Double> cpuUsages,
+		int serviceCount, double totalMemoryBytes, double totalCpu) {
+		Set<String> selected = new HashSet<>(memoryBytes.keySet());
+		selected.addAll(cpuUsages.keySet());
+
+		List<ContainerMetrics> topServices = new ArrayList<>();
+		double selectedMemoryBytes = 0.0;
+		double selectedCpu = 0.0;
+		for (String serviceName : selected) {
+			double memory = memoryBytes.getOrDefault(serviceName, 0.0);
+			double cpu = cpuUsages.getOrDefault(serviceName, 0.0);
+			selectedMemoryBytes += memory;
+			selectedCpu += cpu;
+
+			topServices.add(ContainerMetrics.builder()
+				.containerName(serviceName)
+				.cpuUsage(cpu)
+				.memoryUsageMB(memory / 1024 / 1024)
+				.build());
+		}
 
-						serviceMetricsMap.put(serviceName, metrics);
-						log.debug("Added service: {} - CPU: {}%, Memory: {} MB",
-							serviceName, cpuUsage, String.format("%.2f", memoryMB));
-					}
-				}
-			} else {
-				log.warn("Memory query returned null response");
-			}
+		topServices.sort(Comparator.comparing(ContainerMetrics::getCpuUsage).reversed());
 
-			log.info("Found {} services with metrics", serviceMetricsMap.size());
+		Map<String, ContainerMetrics> serviceMetricsMap = new LinkedHashMap<>();
+		topServices.forEach(metrics -> serviceMetricsMap.put(metrics.getContainerName(), metrics));
 
-		} catch (Exception e) {
-			log.error("Failed to fetch service metrics", e);
+		int othersCount = serviceCount - selected.size();
+		if (othersCount > 0) {
+			String othersName = String.format("others (%d services)", othersCount);
+			serviceMetricsMap.put(othersName, ContainerMetrics.builder()
+				.containerName(othersName)
+				.cpuUsage(Math.max(totalCpu - selectedCpu, 0.0))
+				.memoryUsageMB(Math.max(totalMemoryBytes - selectedMemoryBytes, 0.0) / 1024 / 1024)
+				.build());
 		}
 
 		return serviceMetricsMap;
 	}
 
+	// 메모리 또는 CPU 중 하나라도 보고하는 서비스 수 (Prometheus에서 합집합 계산)
+	private int countServices(TopK topMemory, TopK topCpu) {
+		int fallback = Math.max(topMemory.count(), topCpu.count());
+		Double count = executeQuery("count(" + MEMORY_QUERY + " or " + CPU_QUERY + ")", Instant.now());
+		return count != null && count >= fallback ? count.intValue() : fallback;
+	}
+
+	// 지정된 instance들의 JVM heap 메모리 쿼리
+	private String memoryQueryFor(Set<String> instances) {
+		StringJoiner matcher = new StringJoiner("|");
+		for (String instance : instances) {
+			// 정규식 메타 문자는 PromQL 문자열 안에서 \\ 로 이스케이프
+			matcher.add(instance.replaceAll("([\\\\.+*?()\\[\\]{}|^$])", "\\\\\\\\$1")
+				.replace("\"", "\\\""));
+		}
+		return "sum(jvm_memory_used_bytes{area=\"heap\",instance=~\"" + matcher + "\"}) by (instance)";
+	}
+
 	// CPU Usage 조회
 	private Double queryCpuUsage(String nodeName, Instant timestamp) {
 		String query = "100 - (avg(rate(node_cpu_seconds_total{mode=\"idle\",instance=~\".*" + nodeName + ".*\"}[5m])) * 100)";
@@ -141,48 +234,93 @@ public class PrometheusClient {
 		return executeQuery(query, timestamp);
 	}
 
-	// 특정 서비스의 CPU 사용률 조회 (프로세스 CPU)
-	private Double queryServiceCpu(String serviceName) {
-		// process_cpu_usage는 0.0~1.0 범위이므로 100을 곱해 퍼센트로 변환
-		String query = "process_cpu_usage{instance=\"" + serviceName + "\"} * 100";
-
-		Double cpuUsage = executeQuery(query, Instant.now());
-		return cpuUsage != null ? cpuUsage : 0.0;
-	}
-
-	// Range Query 실행
-	private JsonNode executeRangeQuery(String query) {
+	// vector 쿼리 결과를 (instance, value) 단위로 스트리밍 처리 (호출 스레드에서 응답 본문을 직접 읽음)
+	private boolean streamVector(String query, ObjDoubleConsumer<String> consumer) {
 		try {
-			String encodedQuery = java.net.URLEncoder.encode(query, java.nio.charset.StandardCharsets.UTF_8);
+			String encodedQuery = java.net.URLEncoder.encode(query, StandardCharsets.UTF_8);
 			String fullUrl = prometheusUrl + "/api/v1/query?query=" + encodedQuery;
 
-			log.debug("Executing Prometheus range query: {}", query);
+			log.debug("Executing Prometheus vector query: {}", query);
+
+			long startNanos = System.nanoTime();
+			restClient.get()
+				.uri(URI.create(fullUrl))
+				.headers(this::addCaptureHeader)
+				.exchange((request, response) -> {
+					if (!response.getStatusCode().is2xxSuccessful()) {
+						throw new IOException("Prometheus returned HTTP " + response.getStatusCode().value());
+					}
 
-			return webClient.get()
-				.uri(java.net.URI.create(fullUrl))
-				.retrieve()
-				.bodyToMono(JsonNode.class)
-				.block();
+					// 캡처 모드는 파서가 읽는 바이트를 그대로 복사해 기록 (파싱 경로는 동일)
+					RecordingInputStream recording = trafficRecorder.isEnabled()
+						? new RecordingInputStream(response.getBody()) : null;
+					try (JsonParser parser = JSON_FACTORY.createParser(
+						recording != null ? recording : response.getBody())) {
+						PrometheusVectorReader.read(parser, consumer);
+					}
+
+					if (recording != null) {
+						trafficRecorder.recordPrometheus(query, recording.recorded(), System.nanoTime() - startNanos);
+					}
+					return null;
+				});
+			return true;
 
 		} catch (Exception e) {
-			log.warn("Failed to execute range query: {}", query, e);
-			return null;
+			log.warn("Failed to execute vector query: {}", query, e);
+			return false;
+		}
+	}
+
+	// 처리 중인 Webhook의 캡처 요청 ID 전달 (재생 시 대역 서버가 해당 Webhook의 응답을 선택)
+	private void addCaptureHeader(HttpHeaders headers) {
+		long requestId = CaptureContext.currentRequestId();
+		if (requestId != CaptureContext.NONE) {
+			headers.set(CaptureContext.REQUEST_ID_HEADER, Long.toString(requestId));
+		}
+	}
+
+	// 읽은 바이트를 함께 보관하는 InputStream (캡처용)
+	private static class RecordingInputStream extends FilterInputStream {
+
+		private final ByteArrayOutputStream recorded = new ByteArrayOutputStream();
+
+		RecordingInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b >= 0) {
+				recorded.write(b);
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int n = super.read(b, off, len);
+			if (n > 0) {
+				recorded.write(b, off, n);
+			}
+			return n;
+		}
+
+		String recorded() {
+			return recorded.toString(StandardCharsets.UTF_8);
 		}
 	}
 
 	// Prometheus API 쿼리 실행
 	private Double executeQuery(String query, Instant timestamp) {
 		try {
-			String encodedQuery = java.net.URLEncoder.encode(query, java.nio.charset.StandardCharsets.UTF_8);
+			String encodedQuery = java.net.URLEncoder.encode(query, StandardCharsets.UTF_8);
 			String fullUrl = prometheusUrl + "/api/v1/query?query=" + encodedQuery + "&time=" + timestamp.getEpochSecond();
 
 			log.debug("Executing query: {} at time: {}", query, timestamp.getEpochSecond());
 
-			JsonNode response = webClient.get()
-				.uri(java.net.URI.create(fullUrl))
-				.retrieve()
-				.bodyToMono(JsonNode.class)
-				.block();
+			JsonNode response = fetch(query, fullUrl);
 
 			if (response != null && response.path("status").asText().equals("success")) {
 				JsonNode result = response.path("data").path("result");
@@ -197,4 +335,22 @@ public class PrometheusClient {
 
 		return 0.0;
 	}
+
+	// Prometheus 호출 (캡처 모드일 때 응답과 지연 기록)
+	private JsonNode fetch(String query, String fullUrl) {
+		long startNanos = System.nanoTime();
+
+		// 4xx/5xx 응답은 RestClientResponseException으로 전달
+		JsonNode response = restClient.get()
+			.uri(URI.create(fullUrl))
+			.headers(this::addCaptureHeader)
+			.retrieve()
+			.body(JsonNode.class);
+
+		if (trafficRecorder.isEnabled() && response != null) {
+			trafficRecorder.recordPrometheus(query, response.toString(), System.nanoTime() - startNanos);
+		}
+
+		return response;
+	}
 }
@@ -0,0 +1,100 @@
+package org.nextme.monitoringserver.client;
+
+import java.io.IOException;
+import java.util.function.ObjDoubleConsumer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Prometheus instant query(vector) 응답 스트리밍 파서
+ *
+ * 응답 전체를 JsonNode 트리로 만들지 않고 data.result 배열의 원소를 하나씩 읽어
+ * (instance, value) 단위로 전달하므로 결과 수와 무관하게 메모리 사용이 일정하다.
+ */
+final class PrometheusVectorReader {
+
+	private PrometheusVectorReader() {
+	}
+
+	/*
+	응답 본문을 읽어 원소마다 consumer 호출 (instance 라벨이 없거나 값이 유한하지 않은 원소는 제외)
+	@param parser 응답 본문 파서
+	@param consumer (instance, value) 소비자
+	 */
+	static void read(JsonParser parser, ObjDoubleConsumer<String> consumer) throws IOException {
+		if (parser.nextToken() != JsonToken.START_OBJECT) {
+			throw new IOException("Unexpected Prometheus response");
+		}
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.currentName();
+			JsonToken value = parser.nextToken();
+
+			if ("status".equals(field) && !"success".equals(parser.getText())) {
+				throw new IOException("Prometheus query failed: status=" + parser.getText());
+			} else if ("data".equals(field) && value == JsonToken.START_OBJECT) {
+				readData(parser, consumer);
+			} else {
+				parser.skipChildren();
+			}
+		}
+	}
+
+	private static void readData(JsonParser parser, ObjDoubleConsumer<String> consumer) throws IOException {
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.currentName();
+			JsonToken value = parser.nextToken();
+
+			if ("result".equals(field) && value == JsonToken.START_ARRAY) {
+				while (parser.nextToken() == JsonToken.START_OBJECT) {
+					readSample(parser, consumer);
+				}
+			} else {
+				parser.skipChildren();
+			}
+		}
+	}
+
+	// {"metric": {"instance": "..."}, "value": [timestamp, "value"]}
+	private static void readSample(JsonParser parser, ObjDoubleConsumer<String> consumer) throws IOException {
+		String instance = "";
+		double sample = Double.NaN;
+
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			String field = parser.currentName();
+			JsonToken value = parser.nextToken();
+
+			if ("metric".equals(field) && value == JsonToken.START_OBJECT) {
+				while (parser.nextToken() == JsonToken.FIELD_NAME) {
+					String label = parser.currentName();
+					parser.nextToken();
+					if ("instance".equals(label)) {
+						instance = parser.getText();
+					}
+				}
+			} else if ("value".equals(field) && value == JsonToken.START_ARRAY) {
+				parser.nextToken();
+				parser.nextToken();
+				sample = parseDouble(parser.getText());
+				while (parser.currentToken() != JsonToken.END_ARRAY) {
+					parser.nextToken();
+				}
+			} else {
+				parser.skipChildren();
+			}
+		}
+
+		if (!instance.isEmpty() && Double.isFinite(sample)) {
+			consumer.accept(instance, sample);
+		}
+	}
+
+	private static double parseDouble(String text) {
+		try {
+			return Double.parseDouble(text);
+		} catch (NumberFormatException e) {
+			return Double.NaN;
+		}
+	}
+}
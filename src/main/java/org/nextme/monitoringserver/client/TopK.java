@@ -0,0 +1,54 @@
+package org.nextme.monitoringserver.client;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 상위 K개 선택기
+ *
+ * 크기 K의 min-heap만 유지하므로 입력 수와 무관하게 메모리는 O(K)이며,
+ * 선택되지 않은 값까지 포함한 전체 합계와 개수를 함께 집계한다.
+ */
+final class TopK {
+
+	private final int k;
+	private final PriorityQueue<Sample> heap = new PriorityQueue<>(Comparator.comparingDouble(Sample::value));
+	private double total;
+	private int count;
+
+	TopK(int k) {
+		this.k = k;
+	}
+
+	void offer(String instance, double value) {
+		total += value;
+		count++;
+
+		if (heap.size() < k) {
+			heap.offer(new Sample(instance, value));
+		} else if (k > 0 && value > heap.peek().value()) {
+			heap.poll();
+			heap.offer(new Sample(instance, value));
+		}
+	}
+
+	// 선택된 값 (instance -> value)
+	Map<String, Double> values() {
+		Map<String, Double> values = new HashMap<>();
+		heap.forEach(sample -> values.put(sample.instance(), sample.value()));
+		return values;
+	}
+
+	double total() {
+		return total;
+	}
+
+	int count() {
+		return count;
+	}
+
+	private record Sample(String instance, double value) {
+	}
+}
@@ -0,0 +1,26 @@
+package org.nextme.monitoringserver.config;
+
+import org.nextme.monitoringserver.analyzer.OpenAiUsageInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Spring AI(OpenAI) HTTP 클라이언트 설정
+ */
+@Configuration
+public class AIClientConfig {
+
+	// OpenAI 호출마다 토큰 사용량(캐시 적중 포함)을 ai.analysis.tokens 메트릭으로 기록
+	@Bean
+	public RestClientCustomizer openAiUsageCustomizer(
+		@Value("${spring.ai.openai.chat.base-url:${spring.ai.openai.base-url:https://api.openai.com}}") String openAiBaseUrl,
+		MeterRegistry meterRegistry
+	) {
+		OpenAiUsageInterceptor interceptor = new OpenAiUsageInterceptor(openAiBaseUrl, meterRegistry);
+		return builder -> builder.requestInterceptor(interceptor);
+	}
+}
@@ -0,0 +1,30 @@
+package org.nextme.monitoringserver.config;
+
+import org.nextme.monitoringserver.capture.TrafficRecorder;
+import org.nextme.monitoringserver.client.PrometheusClient;
+import org.nextme.monitoringserver.controller.GrafanaAlertController;
+import org.nextme.monitoringserver.ratelimit.RateLimiter;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 빠른 기동 모드 설정
+ *
+ * fast-startup 프로파일은 spring.main.lazy-initialization=true 로 모든 빈을 지연 초기화한다.
+ * Webhook 수신 경로는 첫 알림의 지연을 줄이기 위해 즉시 초기화하고,
+ * AI/Kafka 빈은 Controller의 @Lazy 주입을 통해 첫 알림 처리 시점에 초기화된다.
+ */
+@Configuration
+public class FastStartupConfig {
+
+	@Bean
+	public static LazyInitializationExcludeFilter eagerWebhookBeans() {
+		return LazyInitializationExcludeFilter.forBeanTypes(
+			GrafanaAlertController.class,
+			PrometheusClient.class,
+			TrafficRecorder.class,
+			RateLimiter.class
+		);
+	}
+}
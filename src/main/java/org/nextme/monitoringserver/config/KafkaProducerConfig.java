@@ -11,11 +11,18 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Kafka Producer 설정
+ *
+ * 알림이 한꺼번에 몰릴 때를 대비해 배치/압축/멱등성을 설정한다.
+ * notification.kafka.encoding=smile 이면 JSON 대신 Smile(바이너리 JSON)으로 직렬화하므로
+ * 컨슈머도 같은 포맷으로 역직렬화해야 한다.
  */
 @Configuration
 public class KafkaProducerConfig {
@@ -23,17 +30,51 @@ public class KafkaProducerConfig {
 	@Value("${spring.kafka.bootstrap-servers}")
 	private String bootstrapServers;
 
+	@Value("${notification.kafka.encoding:json}")
+	private String encoding;
+
+	@Value("${notification.kafka.linger-ms:20}")
+	private int lingerMs;
+
+	@Value("${notification.kafka.batch-size:65536}")
+	private int batchSize;
+
+	@Value("${notification.kafka.compression-type:lz4}")
+	private String compressionType;
+
+	@Value("${notification.kafka.max-block-ms:5000}")
+	private long maxBlockMs;
+
 	@Bean
 	public ProducerFactory<String, MonitoringNotificationEvent> producerFactory() {
 		Map<String, Object> config = new HashMap<>();
 		config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
-		config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-		config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-		return new DefaultKafkaProducerFactory<>(config);
+
+		// 배치 & 압축
+		config.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+		config.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+		config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+
+		// 재시도 시 중복/순서 역전 방지
+		config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+		config.put(ProducerConfig.ACKS_CONFIG, "all");
+		config.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+
+		// 메타데이터 조회/버퍼 대기로 send()가 요청 스레드를 막는 최대 시간 (기본 60초)
+		config.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
+
+		return new DefaultKafkaProducerFactory<>(config, new StringSerializer(), valueSerializer());
 	}
 
 	@Bean
 	public KafkaTemplate<String, MonitoringNotificationEvent> kafkaTemplate() {
 		return new KafkaTemplate<>(producerFactory());
 	}
+
+	private JsonSerializer<MonitoringNotificationEvent> valueSerializer() {
+		if ("smile".equalsIgnoreCase(encoding)) {
+			return new JsonSerializer<>(new ObjectMapper(new SmileFactory()));
+		}
+		return new JsonSerializer<>();
+	}
 }
@@ -3,18 +3,32 @@ package org.nextme.monitoringserver.controller;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.nextme.monitoringserver.analyzer.AIAnalyzer;
+import org.nextme.monitoringserver.capture.CaptureContext;
+import org.nextme.monitoringserver.capture.TrafficRecorder;
 import org.nextme.monitoringserver.client.PrometheusClient;
 import org.nextme.monitoringserver.dto.ContainerMetrics;
 import org.nextme.monitoringserver.dto.GrafanaAlert;
 import org.nextme.monitoringserver.dto.NodeMetrics;
 import org.nextme.monitoringserver.event.MonitoringNotificationEvent;
+import org.nextme.monitoringserver.ratelimit.RateLimitScope;
+import org.nextme.monitoringserver.ratelimit.RateLimiter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.web.bind.annotation.*;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -27,21 +41,59 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class GrafanaAlertController {
 
+	private static final String NOTIFICATION_TOPIC = "monitoring.notification";
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
 	private final PrometheusClient prometheusClient;
+	private final TrafficRecorder trafficRecorder;
+	private final MeterRegistry meterRegistry;
+	private final RateLimiter rateLimiter;
+
+	// fast-startup 프로파일(lazy-initialization)에서 AI/Kafka 빈이 첫 알림 처리 시점에 초기화되도록 지연 주입
+	@Lazy
 	private final AIAnalyzer aiAnalyzer;
+	@Lazy
 	private final KafkaTemplate<String, MonitoringNotificationEvent> kafkaTemplate;
 
 	@Value("${notification.slack.user-ids}")
 	private List<String> slackUserIds;
 
+	private Timer notificationSendSuccess;
+	private Timer notificationSendFailure;
+
+	@PostConstruct
+	void registerMetrics() {
+		this.notificationSendSuccess = notificationSendTimer("success");
+		this.notificationSendFailure = notificationSendTimer("failure");
+	}
+
+	private Timer notificationSendTimer(String outcome) {
+		return Timer.builder("monitoring.notification.send")
+				.tag("outcome", outcome)
+				.register(meterRegistry);
+	}
+
 	/**
 	 * Grafana Alert Webhook 엔드포인트
 	 */
 	@PostMapping("/alert")
-	public ResponseEntity<String> handleAlert(@RequestBody String rawPayload) {
-		log.info("Received Grafana alert payload: {}", rawPayload);
-
+	public ResponseEntity<String> handleAlert(
+			@RequestBody String rawPayload,
+			@RequestHeader(value = CaptureContext.REQUEST_ID_HEADER, required = false) Long captureRequestId) {
+		// 재생 요청은 캡처 당시의 요청 ID를 그대로 사용 (대역 서버가 해당 Webhook의 Prometheus 응답을 반환)
+		long requestId = captureRequestId != null ? captureRequestId : trafficRecorder.nextRequestId();
+		CaptureContext.set(requestId);
+		trafficRecorder.recordWebhook(requestId, rawPayload);
 		try {
+			// 전체 파싱 전에 receiver 단위 요청 제한
+			String receiver = extractReceiver(rawPayload);
+			if (!rateLimiter.tryAcquire(RateLimitScope.RECEIVER, receiver)) {
+				log.debug("Alert throttled: receiver={}", receiver);
+				return tooManyRequests();
+			}
+
+			log.info("Received Grafana alert payload: {}", rawPayload);
+
 			// JSON 파싱
 			com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
 			GrafanaAlert alert = mapper.readValue(rawPayload, GrafanaAlert.class);
@@ -82,6 +134,12 @@ public class GrafanaAlertController {
 			log.info("Processing alert: name={}, node={}, severity={}",
 					alertName, nodeName, severity);
 
+			// Prometheus/AI 호출 전에 alertname + node 단위 요청 제한
+			if (!rateLimiter.tryAcquire(RateLimitScope.ALERT, alertName + ":" + nodeName)) {
+				log.debug("Alert throttled: name={}, node={}", alertName, nodeName);
+				return tooManyRequests();
+			}
+
 			// 2. Prometheus에서 과거 메트릭 조회
 			List<NodeMetrics> historicalMetrics = prometheusClient.getNodeMetricsHistory(nodeName, 6);
 
@@ -118,9 +176,38 @@ public class GrafanaAlertController {
 			log.error("Failed to process alert", e);
 			return ResponseEntity.internalServerError()
 					.body("Error: " + e.getMessage());
+		} finally {
+			CaptureContext.clear();
 		}
 	}
 
+	/**
+	 * 최상위 receiver 필드만 스트리밍으로 추출 (요청 제한 키)
+	 */
+	private String extractReceiver(String rawPayload) {
+		try (JsonParser parser = JSON_FACTORY.createParser(rawPayload)) {
+			if (parser.nextToken() != JsonToken.START_OBJECT) {
+				return "unknown";
+			}
+			while (parser.nextToken() == JsonToken.FIELD_NAME) {
+				String field = parser.currentName();
+				JsonToken value = parser.nextToken();
+				if ("receiver".equals(field) && value == JsonToken.VALUE_STRING) {
+					return parser.getText();
+				}
+				parser.skipChildren();
+			}
+		} catch (Exception e) {
+			log.debug("Failed to extract receiver from payload", e);
+		}
+		return "unknown";
+	}
+
+	private ResponseEntity<String> tooManyRequests() {
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+				.body("Too many requests");
+	}
+
 	/**
 	 * 노드 이름 추출 (labels와 annotations 모두 확인)
 	 */
@@ -213,8 +300,28 @@ public class GrafanaAlertController {
 				message
 		);
 
-		kafkaTemplate.send("monitoring.notification", event);
-		log.info("Notification sent to Kafka topic: monitoring.notification");
+		// 노드 기준 키로 같은 노드의 알림 순서 보장, 전송 결과는 비동기로 기록
+		// 직렬화 오류나 max.block.ms 초과처럼 동기적으로 던지는 실패도 같은 메트릭으로 기록하고,
+		// 이미 끝난 AI 분석이 500 응답으로 재시도되지 않도록 예외는 전파하지 않음
+		long startNanos = System.nanoTime();
+		try {
+			kafkaTemplate.send(NOTIFICATION_TOPIC, nodeName, event)
+					.whenComplete((result, ex) -> {
+						Timer timer = ex == null ? notificationSendSuccess : notificationSendFailure;
+						timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+
+						if (ex != null) {
+							log.error("Failed to send notification to Kafka: node={}", nodeName, ex);
+						} else {
+							log.info("Notification sent to Kafka: topic={}, partition={}, offset={}",
+									NOTIFICATION_TOPIC, result.getRecordMetadata().partition(),
+									result.getRecordMetadata().offset());
+						}
+					});
+		} catch (Exception e) {
+			notificationSendFailure.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+			log.error("Failed to send notification to Kafka: node={}", nodeName, e);
+		}
 	}
 
 	/**
@@ -232,6 +339,11 @@ public class GrafanaAlertController {
 	 */
 	@PostMapping("/analyze")
 	public ResponseEntity<String> manualAnalyze(@RequestParam String nodeName) {
+		if (!rateLimiter.tryAcquire(RateLimitScope.ANALYZE, nodeName)) {
+			log.debug("Manual analysis throttled: node={}", nodeName);
+			return tooManyRequests();
+		}
+
 		log.info("Manual analysis requested for node: {}", nodeName);
 
 		try {
@@ -0,0 +1,23 @@
+package org.nextme.monitoringserver.ratelimit;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 요청 제한 범위 (rate-limit.<key>.* 로 설정)
+ */
+@Getter
+@RequiredArgsConstructor
+public enum RateLimitScope {
+
+	// Webhook 수신자(receiver) 단위
+	RECEIVER("receiver"),
+
+	// alertname + node 단위 (Prometheus/AI 호출 전)
+	ALERT("alert"),
+
+	// 수동 분석 노드 단위
+	ANALYZE("analyze");
+
+	private final String key;
+}
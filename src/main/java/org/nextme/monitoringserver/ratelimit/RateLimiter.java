@@ -0,0 +1,188 @@
+package org.nextme.monitoringserver.ratelimit;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 범위/키별 토큰 버킷 기반 요청 제한
+ *
+ * 키별 버킷을 먼저 확인한 뒤 범위 전체 버킷(global)을 확인하므로,
+ * 키를 바꿔가며 요청해 새 버킷의 burst를 반복해서 얻더라도 범위 전체 처리량은 global 한도를 넘지 않는다.
+ *
+ * 키는 외부 요청 값에서 오므로 범위당 버킷 수를 max-keys로 제한한다.
+ * 가득 차면 burst가 모두 채워진(유휴) 버킷을 정리하고, 정리 후에도 가득 찬 동안에만
+ * 새 키들이 하나의 공용 버킷을 함께 사용한다.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+	private static final String OVERFLOW_KEY = "__overflow__";
+	private static final long EVICTION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	private final boolean enabled;
+	private final Map<RateLimitScope, ScopeBuckets> scopes = new EnumMap<>(RateLimitScope.class);
+
+	@Autowired
+	public RateLimiter(
+		@Value("${rate-limit.enabled:true}") boolean enabled,
+		@Value("${rate-limit.max-keys:10000}") int maxKeys,
+		@Value("${rate-limit.receiver.rate-per-second:10}") double receiverRate,
+		@Value("${rate-limit.receiver.burst:50}") int receiverBurst,
+		@Value("${rate-limit.receiver.global-rate-per-second:20}") double receiverGlobalRate,
+		@Value("${rate-limit.receiver.global-burst:100}") int receiverGlobalBurst,
+		@Value("${rate-limit.alert.rate-per-second:1}") double alertRate,
+		@Value("${rate-limit.alert.burst:5}") int alertBurst,
+		@Value("${rate-limit.alert.global-rate-per-second:5}") double alertGlobalRate,
+		@Value("${rate-limit.alert.global-burst:20}") int alertGlobalBurst,
+		@Value("${rate-limit.analyze.rate-per-second:0.1}") double analyzeRate,
+		@Value("${rate-limit.analyze.burst:2}") int analyzeBurst,
+		@Value("${rate-limit.analyze.global-rate-per-second:0.2}") double analyzeGlobalRate,
+		@Value("${rate-limit.analyze.global-burst:3}") int analyzeGlobalBurst,
+		MeterRegistry meterRegistry
+	) {
+		this(enabled, maxKeys, Map.of(
+			RateLimitScope.RECEIVER, new Limit(receiverRate, receiverBurst, receiverGlobalRate, receiverGlobalBurst),
+			RateLimitScope.ALERT, new Limit(alertRate, alertBurst, alertGlobalRate, alertGlobalBurst),
+			RateLimitScope.ANALYZE, new Limit(analyzeRate, analyzeBurst, analyzeGlobalRate, analyzeGlobalBurst)
+		), meterRegistry, System::nanoTime);
+	}
+
+	RateLimiter(boolean enabled, int maxKeys, Map<RateLimitScope, Limit> limits, MeterRegistry meterRegistry,
+		LongSupplier clock) {
+		this.enabled = enabled;
+		for (RateLimitScope scope : RateLimitScope.values()) {
+			register(scope, limits.get(scope), maxKeys, meterRegistry, clock);
+		}
+	}
+
+	private void register(RateLimitScope scope, Limit limit, int maxKeys, MeterRegistry meterRegistry,
+		LongSupplier clock) {
+		Counter keyThrottled = throttledCounter(scope, "key", meterRegistry);
+		Counter globalThrottled = throttledCounter(scope, "global", meterRegistry);
+
+		scopes.put(scope, new ScopeBuckets(limit, maxKeys, keyThrottled, globalThrottled, clock));
+		log.info("Rate limit {}: {}/s, burst {} (global {}/s, burst {})", scope.getKey(),
+			limit.ratePerSecond(), limit.burst(), limit.globalRatePerSecond(), limit.globalBurst());
+	}
+
+	private Counter throttledCounter(RateLimitScope scope, String limit, MeterRegistry meterRegistry) {
+		return Counter.builder("monitoring.ratelimit.throttled")
+			.tag("scope", scope.getKey())
+			.tag("limit", limit)
+			.register(meterRegistry);
+	}
+
+	/*
+	요청 허용 여부 확인
+	@param scope 제한 범위
+	@param key 범위 내 키 (receiver, alertname:node 등)
+	@return 허용되면 true, 제한되면 false
+	 */
+	public boolean tryAcquire(RateLimitScope scope, String key) {
+		if (!enabled) {
+			return true;
+		}
+
+		return scopes.get(scope).tryAcquire(key != null ? key : "unknown");
+	}
+
+	// 범위별 키 버킷 한도와 범위 전체(global) 한도
+	record Limit(double ratePerSecond, int burst, double globalRatePerSecond, int globalBurst) {
+	}
+
+	private static class ScopeBuckets {
+
+		private final double ratePerSecond;
+		private final int burst;
+		private final int maxKeys;
+		private final TokenBucket global;
+		private final Counter keyThrottled;
+		private final Counter globalThrottled;
+		private final LongSupplier clock;
+		private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+		private final AtomicLong lastEvictionNanos;
+
+		ScopeBuckets(Limit limit, int maxKeys, Counter keyThrottled, Counter globalThrottled, LongSupplier clock) {
+			this.ratePerSecond = limit.ratePerSecond();
+			this.burst = limit.burst();
+			this.maxKeys = maxKeys;
+			this.global = new TokenBucket(limit.globalRatePerSecond(), limit.globalBurst(), clock);
+			this.keyThrottled = keyThrottled;
+			this.globalThrottled = globalThrottled;
+			this.clock = clock;
+			this.lastEvictionNanos = new AtomicLong(clock.getAsLong() - EVICTION_INTERVAL_NANOS);
+		}
+
+		boolean tryAcquire(String key) {
+			if (!acquireKeyed(key)) {
+				keyThrottled.increment();
+				return false;
+			}
+
+			if (!global.tryAcquire()) {
+				globalThrottled.increment();
+				return false;
+			}
+
+			return true;
+		}
+
+		private boolean acquireKeyed(String key) {
+			while (true) {
+				String bucketKey = resolveKey(key);
+				TokenBucket bucket = buckets.computeIfAbsent(bucketKey,
+					k -> new TokenBucket(ratePerSecond, burst, clock));
+
+				TokenBucket.Acquire result = bucket.acquire();
+				if (result != TokenBucket.Acquire.RETIRED) {
+					return result == TokenBucket.Acquire.ACQUIRED;
+				}
+
+				// 정리 중인 버킷을 가져온 경우: 제거 후 새 버킷으로 재시도
+				buckets.remove(bucketKey, bucket);
+			}
+		}
+
+		private String resolveKey(String key) {
+			if (buckets.containsKey(key)) {
+				return key;
+			}
+
+			if (buckets.size() >= maxKeys) {
+				evictIdle();
+			}
+
+			return buckets.size() < maxKeys ? key : OVERFLOW_KEY;
+		}
+
+		// 유휴 버킷 정리 (전체 순회이므로 범위당 최대 1초에 한 번)
+		private void evictIdle() {
+			long now = clock.getAsLong();
+			long last = lastEvictionNanos.get();
+			if (now - last < EVICTION_INTERVAL_NANOS || !lastEvictionNanos.compareAndSet(last, now)) {
+				return;
+			}
+
+			int before = buckets.size();
+			buckets.forEach((key, bucket) -> {
+				if (bucket.retireIfIdle()) {
+					buckets.remove(key, bucket);
+				}
+			});
+			log.debug("Evicted {} idle rate limit buckets", before - buckets.size());
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package org.nextme.monitoringserver.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free 토큰 버킷 (GCRA: Generic Cell Rate Algorithm)
+ *
+ * 토큰 수 대신 "다음 요청이 허용되는 이론상 시각(TAT)" 하나만 AtomicLong으로 관리하므로
+ * 요청마다 CAS 한 번으로 판단하며 객체 할당이 없다.
+ */
+public class TokenBucket {
+
+	// 정리(eviction)된 버킷의 TAT 표시 값
+	private static final long RETIRED = Long.MIN_VALUE;
+
+	// 토큰 1개가 채워지는 간격
+	private final long emissionIntervalNanos;
+
+	// burst 만큼 앞당겨 사용할 수 있는 허용 범위
+	private final long burstToleranceNanos;
+
+	private final LongSupplier clock;
+	private final AtomicLong theoreticalArrivalNanos;
+
+	public TokenBucket(double ratePerSecond, int burst) {
+		this(ratePerSecond, burst, System::nanoTime);
+	}
+
+	TokenBucket(double ratePerSecond, int burst, LongSupplier clock) {
+		if (ratePerSecond <= 0 || burst < 1) {
+			throw new IllegalArgumentException("ratePerSecond must be > 0 and burst >= 1");
+		}
+		this.emissionIntervalNanos = (long)(1_000_000_000L / ratePerSecond);
+		this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+		this.clock = clock;
+		this.theoreticalArrivalNanos = new AtomicLong(clock.getAsLong());
+	}
+
+	public boolean tryAcquire() {
+		return acquire() == Acquire.ACQUIRED;
+	}
+
+	Acquire acquire() {
+		long now = clock.getAsLong();
+
+		while (true) {
+			long current = theoreticalArrivalNanos.get();
+			if (current == RETIRED) {
+				return Acquire.RETIRED;
+			}
+
+			long arrival = Math.max(current, now);
+
+			if (arrival - now > burstToleranceNanos) {
+				return Acquire.REJECTED;
+			}
+
+			if (theoreticalArrivalNanos.compareAndSet(current, arrival + emissionIntervalNanos)) {
+				return Acquire.ACQUIRED;
+			}
+		}
+	}
+
+	/*
+	TAT가 이미 지났으면 burst가 모두 채워진 상태(새 버킷과 동일)이므로 폐기 표시
+	판단과 표시를 같은 CAS로 처리하므로, 동시에 토큰을 가져간 요청이 있으면 폐기하지 않는다.
+	@return 폐기되었으면 true
+	 */
+	boolean retireIfIdle() {
+		long now = clock.getAsLong();
+
+		while (true) {
+			long current = theoreticalArrivalNanos.get();
+			if (current == RETIRED) {
+				return true;
+			}
+
+			if (current - now > 0) {
+				return false;
+			}
+
+			if (theoreticalArrivalNanos.compareAndSet(current, RETIRED)) {
+				return true;
+			}
+		}
+	}
+
+	enum Acquire {
+		ACQUIRED,
+		REJECTED,
+		// 정리된 버킷: 호출 측이 맵에서 제거하고 새 버킷으로 재시도
+		RETIRED
+	}
+}
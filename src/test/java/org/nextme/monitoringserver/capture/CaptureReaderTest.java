@@ -0,0 +1,86 @@
+package org.nextme.monitoringserver.capture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CaptureReaderTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void readsAllRecordsInOrder() throws IOException {
+		List<CaptureRecord> written = records(5);
+		Path path = write(written, 0);
+
+		assertThat(payloads(CaptureReader.readAll(path))).isEqualTo(payloads(written));
+	}
+
+	@Test
+	void ignoresTruncatedLastRecord() throws IOException {
+		List<CaptureRecord> written = records(3);
+		Path path = write(written, 5);
+
+		assertThat(payloads(CaptureReader.readAll(path))).isEqualTo(payloads(written.subList(0, 2)));
+	}
+
+	@Test
+	void readsRecordsAcrossWindowBoundaries() throws IOException {
+		List<CaptureRecord> written = records(20);
+		Path path = write(written, 0);
+
+		// 레코드 하나(약 40 bytes)보다 작거나 비슷한 창으로 경계 걸침과 창 확장 모두 확인
+		assertThat(payloads(CaptureReader.readAll(path, 16))).isEqualTo(payloads(written));
+		assertThat(payloads(CaptureReader.readAll(path, 64))).isEqualTo(payloads(written));
+	}
+
+	@Test
+	void ignoresTruncatedLastRecordWithSmallWindows() throws IOException {
+		List<CaptureRecord> written = records(10);
+		Path path = write(written, 3);
+
+		assertThat(payloads(CaptureReader.readAll(path, 64))).isEqualTo(payloads(written.subList(0, 9)));
+	}
+
+	@Test
+	void readsEmptyFile() throws IOException {
+		Path path = Files.createFile(tempDir.resolve("empty.cap"));
+
+		assertThat(CaptureReader.readAll(path)).isEmpty();
+	}
+
+	private List<CaptureRecord> records(int count) {
+		List<CaptureRecord> records = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			records.add(new CaptureRecord(CaptureType.PROMETHEUS, i, i, i, "q" + i, "payload-" + i));
+		}
+		return records;
+	}
+
+	// 마지막 레코드에서 truncateBytes만큼 잘라 기록
+	private Path write(List<CaptureRecord> records, int truncateBytes) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (CaptureRecord record : records) {
+			out.write(record.encode());
+		}
+
+		byte[] bytes = out.toByteArray();
+		Path path = tempDir.resolve("traffic.cap");
+		Files.write(path, Arrays.copyOf(bytes, bytes.length - truncateBytes));
+		return path;
+	}
+
+	private List<String> payloads(List<CaptureRecord> records) {
+		return records.stream().map(CaptureRecord::getPayload).toList();
+	}
+}
@@ -0,0 +1,61 @@
+package org.nextme.monitoringserver.capture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class CaptureRecordTest {
+
+	@Test
+	void roundTripsAllFields() {
+		CaptureRecord record = new CaptureRecord(CaptureType.PROMETHEUS, 42L, 1_700_000_000_000L, 1_500_000L,
+			"sum(jvm_memory_used_bytes) by (instance)", "{\"status\":\"success\",\"data\":\"한글\"}");
+
+		CaptureRecord decoded = CaptureRecord.readFrom(ByteBuffer.wrap(record.encode()));
+
+		assertThat(decoded.getType()).isEqualTo(CaptureType.PROMETHEUS);
+		assertThat(decoded.getRequestId()).isEqualTo(42L);
+		assertThat(decoded.getTimestampMillis()).isEqualTo(1_700_000_000_000L);
+		assertThat(decoded.getDurationNanos()).isEqualTo(1_500_000L);
+		assertThat(decoded.getKey()).isEqualTo(record.getKey());
+		assertThat(decoded.getPayload()).isEqualTo(record.getPayload());
+	}
+
+	@Test
+	void decodesMissingKeyAsEmpty() {
+		CaptureRecord record = new CaptureRecord(CaptureType.WEBHOOK, 7L, 1L, 0L, null, "{}");
+
+		CaptureRecord decoded = CaptureRecord.readFrom(ByteBuffer.wrap(record.encode()));
+
+		assertThat(decoded.getType()).isEqualTo(CaptureType.WEBHOOK);
+		assertThat(decoded.getKey()).isEmpty();
+		assertThat(decoded.getPayload()).isEqualTo("{}");
+	}
+
+	@Test
+	void readsConsecutiveRecords() {
+		byte[] first = new CaptureRecord(CaptureType.WEBHOOK, 1L, 1L, 0L, null, "a").encode();
+		byte[] second = new CaptureRecord(CaptureType.PROMETHEUS, 1L, 2L, 3L, "q", "b").encode();
+		ByteBuffer buffer = ByteBuffer.allocate(first.length + second.length).put(first).put(second).flip();
+
+		assertThat(CaptureRecord.readFrom(buffer).getPayload()).isEqualTo("a");
+		assertThat(CaptureRecord.readFrom(buffer).getPayload()).isEqualTo("b");
+		assertThat(buffer.hasRemaining()).isFalse();
+	}
+
+	@Test
+	void rejectsTruncatedRecord() {
+		byte[] encoded = new CaptureRecord(CaptureType.PROMETHEUS, 1L, 1L, 1L, "query", "payload").encode();
+
+		for (int length = 0; length < encoded.length; length++) {
+			ByteBuffer truncated = ByteBuffer.wrap(Arrays.copyOf(encoded, length));
+			assertThatThrownBy(() -> CaptureRecord.readFrom(truncated))
+				.isInstanceOf(BufferUnderflowException.class);
+		}
+	}
+}
@@ -0,0 +1,61 @@
+package org.nextme.monitoringserver.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.nextme.monitoringserver.dto.ContainerMetrics;
+
+class PrometheusClientTest {
+
+	private static final double MB = 1024 * 1024;
+
+	@Test
+	void sortsSelectedServicesByCpuDescending() {
+		Map<String, ContainerMetrics> metrics = PrometheusClient.summarize(
+			Map.of("a", 100 * MB, "b", 200 * MB),
+			Map.of("a", 10.0, "b", 5.0, "c", 30.0),
+			3, 300 * MB, 45.0);
+
+		assertThat(metrics.keySet()).containsExactly("c", "a", "b");
+		assertThat(metrics.get("c").getMemoryUsageMB()).isZero();
+		assertThat(metrics.get("b").getMemoryUsageMB()).isEqualTo(200.0);
+	}
+
+	@Test
+	void summarizesUnselectedServicesAsOthers() {
+		Map<String, ContainerMetrics> metrics = PrometheusClient.summarize(
+			Map.of("a", 100 * MB, "b", 200 * MB),
+			Map.of("a", 10.0, "b", 20.0),
+			5, 600 * MB, 42.0);
+
+		ContainerMetrics others = metrics.get("others (3 services)");
+		assertThat(metrics.keySet()).containsExactly("b", "a", "others (3 services)");
+		assertThat(others.getCpuUsage()).isEqualTo(12.0);
+		assertThat(others.getMemoryUsageMB()).isEqualTo(300.0);
+	}
+
+	@Test
+	void omitsOthersWhenEveryServiceIsSelected() {
+		Map<String, ContainerMetrics> metrics = PrometheusClient.summarize(
+			Map.of("a", 100 * MB),
+			Map.of("a", 10.0),
+			1, 100 * MB, 10.0);
+
+		assertThat(metrics).containsOnlyKeys("a");
+	}
+
+	@Test
+	void clampsNegativeOthersTotals() {
+		// 두 쿼리 사이에 값이 바뀌어 합계가 선택된 값보다 작아진 경우
+		Map<String, ContainerMetrics> metrics = PrometheusClient.summarize(
+			Map.of("a", 100 * MB),
+			Map.of("a", 10.0),
+			2, 50 * MB, 5.0);
+
+		ContainerMetrics others = metrics.get("others (1 services)");
+		assertThat(others.getCpuUsage()).isZero();
+		assertThat(others.getMemoryUsageMB()).isZero();
+	}
+}
@@ -0,0 +1,79 @@
+package org.nextme.monitoringserver.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+
+class PrometheusVectorReaderTest {
+
+	private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+	@Test
+	void readsInstanceValuePairs() throws IOException {
+		Map<String, Double> samples = read("""
+			{"status":"success","data":{"resultType":"vector","result":[
+			  {"metric":{"instance":"a:8080"},"value":[1700000000.123,"1.5"]},
+			  {"metric":{"instance":"b:8080","job":"app"},"value":[1700000000.123,"2"]}
+			]}}
+			""");
+
+		assertThat(samples).containsExactly(Map.entry("a:8080", 1.5), Map.entry("b:8080", 2.0));
+	}
+
+	@Test
+	void skipsSamplesWithoutInstanceOrFiniteValue() throws IOException {
+		Map<String, Double> samples = read("""
+			{"status":"success","data":{"resultType":"vector","result":[
+			  {"metric":{"job":"app"},"value":[1700000000,"1"]},
+			  {"metric":{"instance":"nan:8080"},"value":[1700000000,"NaN"]},
+			  {"metric":{"instance":"inf:8080"},"value":[1700000000,"+Inf"]},
+			  {"metric":{"instance":"bad:8080"},"value":[1700000000,"x"]},
+			  {"metric":{"instance":"ok:8080"},"value":[1700000000,"3"]}
+			]}}
+			""");
+
+		assertThat(samples).containsExactly(Map.entry("ok:8080", 3.0));
+	}
+
+	@Test
+	void skipsUnknownFields() throws IOException {
+		Map<String, Double> samples = read("""
+			{"warnings":["slow"],"status":"success","data":{"stats":{"timings":{"x":1}},"result":[
+			  {"value":[1700000000,"4"],"extra":{"nested":[1,2]},"metric":{"instance":"a:8080"}}
+			]},"infos":[]}
+			""");
+
+		assertThat(samples).containsExactly(Map.entry("a:8080", 4.0));
+	}
+
+	@Test
+	void failsOnErrorStatus() {
+		assertThatThrownBy(() -> read("""
+			{"status":"error","errorType":"bad_data","error":"parse error"}
+			"""))
+			.isInstanceOf(IOException.class)
+			.hasMessageContaining("status=error");
+	}
+
+	@Test
+	void failsOnNonObjectResponse() {
+		assertThatThrownBy(() -> read("[]"))
+			.isInstanceOf(IOException.class);
+	}
+
+	private Map<String, Double> read(String body) throws IOException {
+		Map<String, Double> samples = new LinkedHashMap<>();
+		try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+			PrometheusVectorReader.read(parser, samples::put);
+		}
+		return samples;
+	}
+}
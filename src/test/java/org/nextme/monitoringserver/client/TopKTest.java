@@ -0,0 +1,58 @@
+package org.nextme.monitoringserver.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TopKTest {
+
+	@Test
+	void keepsLargestValuesAndTotalsEverything() {
+		TopK topK = new TopK(2);
+
+		topK.offer("a", 1.0);
+		topK.offer("b", 5.0);
+		topK.offer("c", 3.0);
+		topK.offer("d", 4.0);
+		topK.offer("e", 2.0);
+
+		assertThat(topK.values()).containsOnlyKeys("b", "d");
+		assertThat(topK.values()).containsEntry("b", 5.0).containsEntry("d", 4.0);
+		assertThat(topK.total()).isEqualTo(15.0);
+		assertThat(topK.count()).isEqualTo(5);
+	}
+
+	@Test
+	void evictsSmallestWhenLargerValueArrives() {
+		TopK topK = new TopK(2);
+
+		topK.offer("a", 2.0);
+		topK.offer("b", 3.0);
+		assertThat(topK.values()).containsOnlyKeys("a", "b");
+
+		topK.offer("c", 10.0);
+		assertThat(topK.values()).containsOnlyKeys("b", "c");
+	}
+
+	@Test
+	void keepsExistingValueOnTie() {
+		TopK topK = new TopK(1);
+
+		topK.offer("a", 1.0);
+		topK.offer("b", 1.0);
+
+		assertThat(topK.values()).containsOnlyKeys("a");
+	}
+
+	@Test
+	void zeroSelectsNothingButStillCounts() {
+		TopK topK = new TopK(0);
+
+		topK.offer("a", 1.0);
+		topK.offer("b", 2.0);
+
+		assertThat(topK.values()).isEmpty();
+		assertThat(topK.total()).isEqualTo(3.0);
+		assertThat(topK.count()).isEqualTo(2);
+	}
+}
@@ -0,0 +1,120 @@
+package org.nextme.monitoringserver.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimiterTest {
+
+	private static final RateLimiter.Limit UNLIMITED_GLOBAL = new RateLimiter.Limit(1, 1, 1000, 1000);
+
+	private final AtomicLong now = new AtomicLong();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@BeforeEach
+	void setUp() {
+		now.set(TimeUnit.SECONDS.toNanos(100));
+	}
+
+	@Test
+	void limitsEachKeyIndependently() {
+		RateLimiter rateLimiter = rateLimiter(10, new RateLimiter.Limit(1, 2, 1000, 1000));
+
+		assertThat(rateLimiter.tryAcquire(RateLimitScope.ALERT, "a")).isTrue();
+		assertThat(rateLimiter.tryAcquire(RateLimitScope.ALERT, "a")).isTrue();
+		assertThat(rateLimiter.tryAcquire(RateLimitScope.ALERT, "a")).isFalse();
+		assertThat(rateLimiter.tryAcquire(RateLimitScope.ALERT, "b")).isTrue();
+
+		assertThat(throttled(RateLimitScope.ALERT, "key")).isEqualTo(1);
+	}
+
+	@Test
+	void globalLimitCapsRotatingKeys() {
+		RateLimiter rateLimiter = rateLimiter(100, new RateLimiter.Limit(1, 2, 1, 3));
+
+		int admitted = 0;
+		for (int i = 0; i < 10; i++) {
+			if (rateLimiter.tryAcquire(RateLimitScope.RECEIVER, "receiver-" + i)) {
+				admitted++;
+			}
+		}
+
+		assertThat(admitted).isEqualTo(3);
+		assertThat(throttled(RateLimitScope.RECEIVER, "global")).isEqualTo(7);
+		assertThat(throttled(RateLimitScope.RECEIVER, "key")).isZero();
+	}
+
+	@Test
+	void evictsIdleBucketsWhenFull() {
+		RateLimiter rateLimiter = rateLimiter(2, UNLIMITED_GLOBAL);
+
+		assertThat(rateLimiter.tryAcquire(RateLimitScope.ALERT, "a")).isTrue();
+		assertThat(rateLimiter.tryAcquire(RateLimitScope.ALERT, "b")).isTrue();
+
+		advance(TimeUnit.SECONDS.toNanos(1));
+
+		// a, b 모두 유휴 상태로 정리되고 c, d는 각자 버킷을 가짐
+		assertThat(rateLimiter.tryAcquire(RateLimitScope.ALERT, "c")).isTrue();
+		assertThat(rateLimiter.tryAcquire(RateLimitScope.ALERT, "c")).isFalse();
+		assertThat(rateLimiter.tryAcquire(RateLimitScope.ALERT, "d")).isTrue();
+	}
+
+	@Test
+	void sharesOverflowBucketWhileFull() {
+		RateLimiter rateLimiter = rateLimiter(2, UNLIMITED_GLOBAL);
+
+		assertThat(rateLimiter.tryAcquire(RateLimitScope.ALERT, "a")).isTrue();
+		assertThat(rateLimiter.tryAcquire(RateLimitScope.ALERT, "b")).isTrue();
+
+		// a, b는 아직 토큰을 소진한 상태라 정리되지 않음
+		assertThat(rateLimiter.tryAcquire(RateLimitScope.ALERT, "c")).isTrue();
+		assertThat(rateLimiter.tryAcquire(RateLimitScope.ALERT, "d")).isFalse();
+		assertThat(rateLimiter.tryAcquire(RateLimitScope.ALERT, "a")).isFalse();
+	}
+
+	@Test
+	void treatsNullKeyAsSingleKey() {
+		RateLimiter rateLimiter = rateLimiter(10, UNLIMITED_GLOBAL);
+
+		assertThat(rateLimiter.tryAcquire(RateLimitScope.ANALYZE, null)).isTrue();
+		assertThat(rateLimiter.tryAcquire(RateLimitScope.ANALYZE, null)).isFalse();
+	}
+
+	@Test
+	void admitsEverythingWhenDisabled() {
+		RateLimiter rateLimiter = new RateLimiter(false, 1, limits(new RateLimiter.Limit(1, 1, 1, 1)),
+			meterRegistry, now::get);
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(rateLimiter.tryAcquire(RateLimitScope.RECEIVER, "receiver")).isTrue();
+		}
+		assertThat(throttled(RateLimitScope.RECEIVER, "key")).isZero();
+	}
+
+	private RateLimiter rateLimiter(int maxKeys, RateLimiter.Limit limit) {
+		return new RateLimiter(true, maxKeys, limits(limit), meterRegistry, now::get);
+	}
+
+	private Map<RateLimitScope, RateLimiter.Limit> limits(RateLimiter.Limit limit) {
+		return Map.of(RateLimitScope.RECEIVER, limit, RateLimitScope.ALERT, limit, RateLimitScope.ANALYZE, limit);
+	}
+
+	private double throttled(RateLimitScope scope, String limit) {
+		return meterRegistry.get("monitoring.ratelimit.throttled")
+			.tag("scope", scope.getKey())
+			.tag("limit", limit)
+			.counter()
+			.count();
+	}
+
+	private void advance(long nanos) {
+		now.addAndGet(nanos);
+	}
+}
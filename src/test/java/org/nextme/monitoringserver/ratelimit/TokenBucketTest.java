@@ -0,0 +1,105 @@
+package org.nextme.monitoringserver.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+	private final AtomicLong now = new AtomicLong();
+
+	@BeforeEach
+	void setUp() {
+		now.set(TimeUnit.SECONDS.toNanos(100));
+	}
+
+	@Test
+	void admitsUpToBurstThenRejects() {
+		TokenBucket bucket = new TokenBucket(1, 3, now::get);
+
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isFalse();
+	}
+
+	@Test
+	void refillsOneTokenPerEmissionInterval() {
+		TokenBucket bucket = new TokenBucket(2, 1, now::get);
+
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isFalse();
+
+		advance(TimeUnit.MILLISECONDS.toNanos(499));
+		assertThat(bucket.tryAcquire()).isFalse();
+
+		advance(TimeUnit.MILLISECONDS.toNanos(1));
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isFalse();
+	}
+
+	@Test
+	void refillDoesNotExceedBurst() {
+		TokenBucket bucket = new TokenBucket(1, 2, now::get);
+
+		advance(TimeUnit.SECONDS.toNanos(60));
+
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isTrue();
+		assertThat(bucket.tryAcquire()).isFalse();
+	}
+
+	@Test
+	void rejectedRequestsDoNotConsumeTokens() {
+		TokenBucket bucket = new TokenBucket(1, 1, now::get);
+
+		assertThat(bucket.tryAcquire()).isTrue();
+		for (int i = 0; i < 10; i++) {
+			assertThat(bucket.tryAcquire()).isFalse();
+		}
+
+		advance(TimeUnit.SECONDS.toNanos(1));
+		assertThat(bucket.tryAcquire()).isTrue();
+	}
+
+	@Test
+	void retiresOnlyOnceFullyRefilled() {
+		TokenBucket bucket = new TokenBucket(1, 2, now::get);
+
+		bucket.tryAcquire();
+		assertThat(bucket.retireIfIdle()).isFalse();
+		assertThat(bucket.acquire()).isEqualTo(TokenBucket.Acquire.ACQUIRED);
+
+		advance(TimeUnit.SECONDS.toNanos(2));
+		assertThat(bucket.retireIfIdle()).isTrue();
+	}
+
+	@Test
+	void retiredBucketReportsRetiredInsteadOfAdmitting() {
+		TokenBucket bucket = new TokenBucket(1, 2, now::get);
+
+		assertThat(bucket.retireIfIdle()).isTrue();
+		assertThat(bucket.acquire()).isEqualTo(TokenBucket.Acquire.RETIRED);
+		assertThat(bucket.tryAcquire()).isFalse();
+
+		advance(TimeUnit.SECONDS.toNanos(60));
+		assertThat(bucket.acquire()).isEqualTo(TokenBucket.Acquire.RETIRED);
+	}
+
+	@Test
+	void rejectsInvalidConfiguration() {
+		assertThatThrownBy(() -> new TokenBucket(0, 1, now::get))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new TokenBucket(1, 0, now::get))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private void advance(long nanos) {
+		now.addAndGet(nanos);
+	}
+}